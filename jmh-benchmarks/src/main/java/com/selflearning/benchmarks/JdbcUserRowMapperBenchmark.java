@@ -0,0 +1,99 @@
+package com.selflearning.benchmarks;
+
+import com.javaselflearning.springdataspringwebJDBCbasic.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetMetaDataImpl;
+import javax.sql.rowset.RowSetProvider;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//row mapping of GET /users in spring-data-spring-web-JDBC-basic, "SELECT * FROM USER" rows are served
+//from an in-memory CachedRowSet so only the mapping is measured, not the database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JdbcUserRowMapperBenchmark {
+
+    @Param({"1", "1000"})
+    public int rows;
+
+    private CachedRowSet resultSet;
+    private RowMapper<User> sharedRowMapper;
+
+    @Setup
+    public void setUp() throws SQLException {
+        RowSetMetaDataImpl metaData = new RowSetMetaDataImpl();
+        metaData.setColumnCount(4);
+        setColumn(metaData, 1, "id", Types.INTEGER);
+        setColumn(metaData, 2, "username", Types.VARCHAR);
+        setColumn(metaData, 3, "email", Types.VARCHAR);
+        setColumn(metaData, 4, "password", Types.VARCHAR);
+
+        resultSet = RowSetProvider.newFactory().createCachedRowSet();
+        resultSet.setMetaData(metaData);
+        for (int i = 1; i <= rows; i++) {
+            resultSet.moveToInsertRow();
+            resultSet.updateInt(1, i);
+            resultSet.updateString(2, "user" + i);
+            resultSet.updateString(3, "user" + i + "@example.com");
+            resultSet.updateString(4, "secret" + i);
+            resultSet.insertRow();
+        }
+        resultSet.moveToCurrentRow();
+        sharedRowMapper = new BeanPropertyRowMapper<>(User.class);
+    }
+
+    //what UserController.getAllUsers does today: a new BeanPropertyRowMapper, and its bean introspection, per request
+    @Benchmark
+    public List<User> beanPropertyRowMapperPerRequest() throws SQLException {
+        return mapAll(new BeanPropertyRowMapper<>(User.class));
+    }
+
+    @Benchmark
+    public List<User> beanPropertyRowMapperShared() throws SQLException {
+        return mapAll(sharedRowMapper);
+    }
+
+    //hand written mapper as the lower bound for the same rows
+    @Benchmark
+    public List<User> explicitRowMapper() throws SQLException {
+        return mapAll((rs, rowNum) -> new User(rs.getInt("id"), rs.getString("username"),
+                rs.getString("email"), rs.getString("password")));
+    }
+
+    private List<User> mapAll(RowMapper<User> rowMapper) throws SQLException {
+        List<User> users = new ArrayList<>(rows);
+        resultSet.beforeFirst();
+        int rowNum = 0;
+        while (resultSet.next()) {
+            users.add(rowMapper.mapRow(resultSet, rowNum++));
+        }
+        return users;
+    }
+
+    private static void setColumn(RowSetMetaDataImpl metaData, int column, String name, int type) throws SQLException {
+        metaData.setColumnName(column, name);
+        metaData.setColumnLabel(column, name);
+        metaData.setColumnType(column, type);
+    }
+}
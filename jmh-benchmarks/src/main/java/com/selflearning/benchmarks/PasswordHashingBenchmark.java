@@ -0,0 +1,109 @@
+package com.selflearning.benchmarks;
+
+import com.example.demo.service.impl.PasswordServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//hashes/sec of the JPA user service for the password.hashing.bcrypt-strength values worth considering (hash, verify),
+//and what a signup burst does to other endpoints. in the boundedPool and callerThreads groups 8 threads hash
+//passwords while one thread serializes a GET /api/users response: with the bounded pool (2 threads, the default
+//password.hashing.threads) hashing holds at most 2 cores, hashing on the caller threads lets it take all of them.
+//compare the *UserListSerialization scores of the two groups
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final int HASHING_THREADS = 8;
+
+    @Param({"10", "12"})
+    public int bcryptStrength;
+
+    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordServiceImpl passwordService;
+    private String encodedPassword;
+    private ObjectMapper objectMapper;
+    private List<com.example.demo.model.User> users;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = new BCryptPasswordEncoder(bcryptStrength);
+        //queue large enough that the callers are never rejected, they only wait for a hashing thread
+        passwordService = new PasswordServiceImpl(passwordEncoder, 2, 64, TimeUnit.MINUTES.toMillis(1));
+        encodedPassword = passwordEncoder.encode("secret");
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        users = UserFixtures.jpaUsers(100);
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordService.shutdown();
+    }
+
+    @Benchmark
+    public String hash() {
+        return passwordEncoder.encode("secret");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return passwordEncoder.matches("secret", encodedPassword);
+    }
+
+    @Benchmark
+    @Group("boundedPool")
+    @GroupThreads(HASHING_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String boundedPoolHashing() {
+        return passwordService.hash("secret");
+    }
+
+    @Benchmark
+    @Group("boundedPool")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] boundedPoolUserListSerialization() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    @Group("callerThreads")
+    @GroupThreads(HASHING_THREADS)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String callerThreadsHashing() {
+        return passwordEncoder.encode("secret");
+    }
+
+    @Benchmark
+    @Group("callerThreads")
+    @GroupThreads(1)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public byte[] callerThreadsUserListSerialization() throws Exception {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
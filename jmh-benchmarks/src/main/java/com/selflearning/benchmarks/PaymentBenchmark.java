@@ -0,0 +1,49 @@
+package com.selflearning.benchmarks;
+
+import com.selflearning.controller.PaymentController;
+import com.selflearning.controller.shoppingPortalController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+//shopping-portal building the payment-provider url for an order, and payment-provider building its reply
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentBenchmark {
+
+    private shoppingPortalController shoppingController;
+    private PaymentController paymentController;
+    //varies per call so string concatenation can not be constant folded
+    private int price;
+
+    @Setup
+    public void setUp() {
+        shoppingController = new shoppingPortalController();
+        //same value as spring.serviceProvider.url in shopping-portal application.yml
+        shoppingController.paymentServiceUrl = "Payment-Provider-Service/payment-provider/paynow/";
+        paymentController = new PaymentController();
+    }
+
+    @Benchmark
+    public String buildPaymentUrl() {
+        return shoppingController.buildPaymentUrl(price++);
+    }
+
+    @Benchmark
+    public String makePayment() {
+        return paymentController.makePayment(price++);
+    }
+}
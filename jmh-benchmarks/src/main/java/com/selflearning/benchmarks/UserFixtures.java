@@ -0,0 +1,34 @@
+package com.selflearning.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//users of both services with realistic field sizes, shared by the serialization benchmarks
+final class UserFixtures {
+
+    //a bcrypt hash, as stored by the JPA service since passwords are hashed
+    private static final String PASSWORD_HASH = "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3dNvJ6ZVQGQd1zJ0e2fRlR6";
+
+    private UserFixtures() {
+    }
+
+    static List<com.example.demo.model.User> jpaUsers(int count) {
+        List<com.example.demo.model.User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            com.example.demo.model.User user = new com.example.demo.model.User();
+            user.setId(i);
+            user.setUsername("user" + i);
+            user.setPassword(PASSWORD_HASH);
+            users.add(user);
+        }
+        return users;
+    }
+
+    static List<com.javaselflearning.springdataspringwebJDBCbasic.User> jdbcUsers(int count) {
+        List<com.javaselflearning.springdataspringwebJDBCbasic.User> users = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            users.add(new com.javaselflearning.springdataspringwebJDBCbasic.User(i, "user" + i, "user" + i + "@example.com", "secret" + i));
+        }
+        return users;
+    }
+}
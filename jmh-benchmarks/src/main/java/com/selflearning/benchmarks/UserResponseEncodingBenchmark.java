@@ -0,0 +1,119 @@
+package com.selflearning.benchmarks;
+
+import com.example.demo.config.WebConfig;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+//list responses of GET /api/users and GET /users as they leave the server: written by the json converter or by the
+//smile converter from WebConfig, then gzipped when compression is on and the body reaches server.compression.min-response-size.
+//time is per response. wireBytes and encodedUsers are secondary results summed over the measurement, their ratio
+//in jmh-result.json is the wire size per user and does not depend on the iteration count
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserResponseEncodingBenchmark {
+
+    //same value as server.compression.min-response-size in both user services
+    private static final int MIN_COMPRESSION_SIZE = 2048;
+
+    @Param({"jpa", "jdbc"})
+    public String service;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"none", "gzip"})
+    public String compression;
+
+    @Param({"10", "1000"})
+    public int users;
+
+    private AbstractJackson2HttpMessageConverter converter;
+    private List<?> body;
+
+    @Setup
+    public void setUp() {
+        converter = "smile".equals(format)
+                ? new WebConfig().smileHttpMessageConverter(Jackson2ObjectMapperBuilder.json())
+                : new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build());
+        body = "jpa".equals(service) ? UserFixtures.jpaUsers(users) : UserFixtures.jdbcUsers(users);
+    }
+
+    //jmh adds EVENTS counters up over all iterations, so only totals are reported, never a per user value
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+        public long wireBytes;
+        public long encodedUsers;
+
+        //counters are not reset by jmh, without this every iteration would also carry the previous ones
+        @Setup(Level.Iteration)
+        public void reset() {
+            wireBytes = 0;
+            encodedUsers = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeUsers(WireSize wireSize) throws IOException {
+        byte[] encoded = encode();
+        wireSize.wireBytes += encoded.length;
+        wireSize.encodedUsers += users;
+        return encoded;
+    }
+
+    private byte[] encode() throws IOException {
+        BufferedOutputMessage message = new BufferedOutputMessage();
+        converter.write(body, null, null, message);
+        byte[] encoded = message.body.toByteArray();
+        if (!"gzip".equals(compression) || encoded.length < MIN_COMPRESSION_SIZE) {
+            return encoded;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(encoded.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(encoded);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
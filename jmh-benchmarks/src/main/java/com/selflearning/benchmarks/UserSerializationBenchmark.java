@@ -0,0 +1,83 @@
+package com.selflearning.benchmarks;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+//User (de)serialization as done by the message converters of both user services:
+//list responses of GET /api/users and GET /users, single user request bodies of POST/PUT /api/users.
+//time only, payload sizes per format come from UserResponseEncodingBenchmark which uses the real converters
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserSerializationBenchmark {
+
+    @Param({"json", "smile"})
+    public String format;
+
+    @Param({"1", "1000"})
+    public int users;
+
+    private ObjectMapper objectMapper;
+    private List<com.example.demo.model.User> jpaUsers;
+    private List<com.javaselflearning.springdataspringwebJDBCbasic.User> jdbcUsers;
+    private byte[] jpaUserBody;
+    private byte[] jdbcUserBody;
+    private JavaType jdbcUserList;
+    private byte[] jdbcUsersBody;
+
+    @Setup
+    public void setUp() throws Exception {
+        objectMapper = "smile".equals(format)
+                ? Jackson2ObjectMapperBuilder.smile().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        jpaUsers = UserFixtures.jpaUsers(users);
+        jdbcUsers = UserFixtures.jdbcUsers(users);
+        jpaUserBody = objectMapper.writeValueAsBytes(jpaUsers.get(0));
+        jdbcUserBody = objectMapper.writeValueAsBytes(jdbcUsers.get(0));
+        jdbcUserList = objectMapper.getTypeFactory().constructCollectionType(List.class, com.javaselflearning.springdataspringwebJDBCbasic.User.class);
+        jdbcUsersBody = objectMapper.writeValueAsBytes(jdbcUsers);
+    }
+
+    @Benchmark
+    public byte[] serializeJpaUsers() throws Exception {
+        return objectMapper.writeValueAsBytes(jpaUsers);
+    }
+
+    @Benchmark
+    public byte[] serializeJdbcUsers() throws Exception {
+        return objectMapper.writeValueAsBytes(jdbcUsers);
+    }
+
+    @Benchmark
+    public com.example.demo.model.User deserializeJpaUser() throws Exception {
+        return objectMapper.readValue(jpaUserBody, com.example.demo.model.User.class);
+    }
+
+    @Benchmark
+    public com.javaselflearning.springdataspringwebJDBCbasic.User deserializeJdbcUser() throws Exception {
+        return objectMapper.readValue(jdbcUserBody, com.javaselflearning.springdataspringwebJDBCbasic.User.class);
+    }
+
+    @Benchmark
+    public List<com.javaselflearning.springdataspringwebJDBCbasic.User> deserializeJdbcUsers() throws Exception {
+        return objectMapper.readValue(jdbcUsersBody, jdbcUserList);
+    }
+}
@@ -0,0 +1,148 @@
+package com.selflearning.benchmarks;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.impl.UsernamePrefixIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+//first page (20 users) of /api/users/search over 1M users: the keyset query of UserRepository on the indexed
+//username column, the in-memory UsernamePrefixIndex, and the previous approach of loading every user and
+//filtering on the client. the database is H2 in MySQL mode with the table and index of db/user-username-search.sql,
+//so absolute query times differ from MySQL but the plan (index range scan, no full scan) is the same
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class UsernamePrefixSearchBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERT_BATCH_SIZE = 10000;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"2", "4"})
+    public int prefixLength;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private UsernamePrefixIndex usernamePrefixIndex;
+    private List<User> allUsers;
+    private String[] prefixes;
+    private int next;
+
+    //just the JPA part of spring-web-data-jpa-hibernate, on an in-memory database
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = User.class)
+    @EnableJpaRepositories(basePackageClasses = UserRepository.class)
+    static class UserRepositoryConfig {
+    }
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserRepositoryConfig.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:users;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=none",
+                        "spring.data.jdbc.repositories.enabled=false",
+                        "eureka.client.enabled=false",
+                        "spring.cloud.discovery.enabled=false",
+                        "spring.cloud.loadbalancer.cache.enabled=false",
+                        "spring.main.banner-mode=off")
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("CREATE TABLE user (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(255), password VARCHAR(255))");
+        jdbcTemplate.execute("CREATE INDEX idx_user_username ON user (username, id)");
+        Random random = new Random(42);
+        allUsers = new ArrayList<>(users);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 1; i <= users; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setUsername(randomLetters(random, 6 + random.nextInt(5)));
+            allUsers.add(user);
+            batch.add(new Object[]{user.getUsername(), "secret"});
+            if (batch.size() == INSERT_BATCH_SIZE || i == users) {
+                jdbcTemplate.batchUpdate("INSERT INTO user (username, password) VALUES (?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        //loaded from the database the same way the service does at startup
+        usernamePrefixIndex = new UsernamePrefixIndex(userRepository);
+        usernamePrefixIndex.load();
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            prefixes[i] = randomLetters(random, prefixLength);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> keysetQuery() {
+        return userRepository.searchByUsernamePrefix(nextPrefix(), "", 0, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<User> prefixIndex() {
+        return usernamePrefixIndex.search(nextPrefix(), "", 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<User> filterAllUsers() {
+        String prefix = nextPrefix();
+        return allUsers.stream()
+                .filter(user -> user.getUsername().startsWith(prefix))
+                .limit(PAGE_SIZE)
+                .collect(Collectors.toList());
+    }
+
+    private String nextPrefix() {
+        return prefixes[next++ & (prefixes.length - 1)];
+    }
+
+    private static String randomLetters(Random random, int length) {
+        StringBuilder letters = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            letters.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+        }
+        return letters.toString();
+    }
+}
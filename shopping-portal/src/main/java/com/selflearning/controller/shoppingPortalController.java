@@ -20,10 +20,14 @@ public class shoppingPortalController {
 
     @GetMapping("/order-request/itemId/{itemId}/price/{price}")
     public String buyProduct(@PathVariable int itemId, @PathVariable int price) {
-        String url = "http://"+paymentServiceUrl+""+ price;
+        String url = buildPaymentUrl(price);
         System.out.println("url "+url);
         System.out.println("Shopping done for itemId "+itemId);
         return restTemplate.getForObject(url, String.class);
     }
 
+    public String buildPaymentUrl(int price) {
+        return "http://"+paymentServiceUrl+""+ price;
+    }
+
 }
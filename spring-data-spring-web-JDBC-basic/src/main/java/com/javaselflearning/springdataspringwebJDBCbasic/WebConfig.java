@@ -0,0 +1,21 @@
+package com.javaselflearning.springdataspringwebJDBCbasic;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class WebConfig {
+
+	//jackson-dataformat-smile on the classpath is enough for spring mvc to add a smile converter, so a client sending
+	//"Accept: application/x-jackson-smile" gets the compact binary form and everyone else keeps json.
+	//this bean replaces that default converter with one built from boot's customized Jackson2ObjectMapperBuilder,
+	//so smile responses follow the same spring.jackson.* settings as json. the builder is a prototype bean,
+	//switching its factory to smile does not affect the json ObjectMapper
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
@@ -13,6 +13,8 @@ import java.util.List;
 //annotate every request handling method
 @RequestMapping("/api/users")
 public class UserController {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
      private UserService userService;
 
     public UserController(UserService userService) {
@@ -31,6 +33,16 @@ public class UserController {
     public List<User> getAllUsers() {
         return userService.getAllUsers();
     }
+    //search users by username prefix REST API, keyset paged on (username, id)
+    //next page: pass username and id of the last user of the previous page as "after" and "afterId"
+    //http://localhost:8080/api/users/search?prefix=jo&size=20
+    @GetMapping("search")
+    public List<User> searchUsers(@RequestParam("prefix") String prefix,
+                                  @RequestParam(value = "after", defaultValue = "") String afterUsername,
+                                  @RequestParam(value = "afterId", defaultValue = "0") long afterId,
+                                  @RequestParam(value = "size", defaultValue = "20") int size) {
+        return userService.searchUsersByUsernamePrefix(prefix, afterUsername, afterId, Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE)));
+    }
     //get user by ID REST API using url template variable
     //http://localhost:8080/api/users/1
     @GetMapping("{id}")
@@ -51,4 +63,13 @@ public class UserController {
         userService.deleteUser(userId);
         return new ResponseEntity<String>("User has been deleted successfully", HttpStatus.OK);
     }
+
+    //verify username and password REST API, the password is checked against the stored hash
+    @PostMapping("verify")
+    public ResponseEntity<String> verifyCredentials(@RequestBody User user) {
+        if (userService.verifyCredentials(user.getUsername(), user.getPassword())) {
+            return new ResponseEntity<String>("Credentials are valid", HttpStatus.OK);
+        }
+        return new ResponseEntity<String>("Invalid username or password", HttpStatus.UNAUTHORIZED);
+    }
 }
@@ -0,0 +1,32 @@
+package com.example.demo.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidFieldException extends RuntimeException {
+    private String resourceName;
+    private String fieldName;
+
+    public String getResourceName() {
+        return resourceName;
+    }
+
+    public void setResourceName(String resourceName) {
+        this.resourceName = resourceName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public void setFieldName(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public InvalidFieldException(String resourceName, String fieldName) {
+        super(String.format("%s %s must not be blank", resourceName, fieldName));
+        this.resourceName = resourceName;
+        this.fieldName = fieldName;
+    }
+}
@@ -5,22 +5,27 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.Table;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Data;
 
 @Data
 @Entity
-@Table(name="user")
+@Table(name="user", indexes = @Index(name = "idx_user_username", columnList = "username, id"))
 public class User {
 	
 	@Id
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private long id;
 	
-	@Column(name = "username")
+	//binary collation so the database orders and matches usernames by code point, like UsernamePrefixIndex
+	@Column(name = "username", columnDefinition = "varchar(255) collate utf8mb4_0900_bin")
 	private String username;
 
+	//stored as a bcrypt hash, accepted in request bodies but never written back in responses
+	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	@Column(name = "password")
 	private String password;
 	
@@ -1,8 +1,25 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 //@Repository annotation is not required as its taken cared by spring-data-jpa
 public interface UserRepository  extends JpaRepository<User, Long> {
+
+    //query is derived by spring-data-jpa from the method name
+    Optional<User> findFirstByUsername(String username);
+
+    //keyset paging: next page starts after the (username, id) of the last row seen, so the idx_user_username
+    //index is range-scanned from that point instead of skipping OFFSET rows. escape() neutralises % and _ in the prefix
+    @Query("select u from User u where u.username like :#{escape(#prefix)}% escape :#{escapeCharacter()}"
+            + " and (u.username > :afterUsername or (u.username = :afterUsername and u.id > :afterId))"
+            + " order by u.username, u.id")
+    List<User> searchByUsernamePrefix(@Param("prefix") String prefix, @Param("afterUsername") String afterUsername,
+                                      @Param("afterId") long afterId, Pageable pageable);
 }
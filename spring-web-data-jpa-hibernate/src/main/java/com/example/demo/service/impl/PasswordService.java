@@ -0,0 +1,10 @@
+package com.example.demo.service.impl;
+
+public interface PasswordService {
+
+    String hash(String rawPassword);
+    //encodedPassword may be null (unknown user), the check then costs the same as a real one and returns false
+    boolean matches(String rawPassword, String encodedPassword);
+    //true for legacy plaintext passwords and for hashes weaker than the configured strength
+    boolean needsRehash(String encodedPassword);
+}
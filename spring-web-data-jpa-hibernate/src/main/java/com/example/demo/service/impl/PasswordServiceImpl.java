@@ -0,0 +1,112 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.exception.ServiceBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+@Service
+public class PasswordServiceImpl implements PasswordService {
+
+    //same check BCryptPasswordEncoder uses, anything else stored in the column is a legacy plaintext password
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2(a|y|b)?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+
+    private PasswordEncoder passwordEncoder;
+    private String dummyHash;
+    private ThreadPoolExecutor hashingExecutor;
+    private long waitTimeoutMs;
+
+    //hashing is cpu bound, so it runs on its own fixed size pool instead of tomcat request threads.
+    //once the bounded queue is full, AbortPolicy rejects new work straight away and the caller gets 503
+    //instead of every other endpoint slowing down behind a signup burst
+    public PasswordServiceImpl(PasswordEncoder passwordEncoder,
+                               @Value("${password.hashing.threads}") int threads,
+                               @Value("${password.hashing.queue-capacity}") int queueCapacity,
+                               @Value("${password.hashing.wait-timeout-ms}") long waitTimeoutMs) {
+        super();
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.dummyHash = passwordEncoder.encode("dummy-password");
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String hash(String rawPassword) {
+        return runOnHashingPool(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        if (encodedPassword != null && isBcrypt(encodedPassword)) {
+            return runOnHashingPool(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        }
+        //unknown users and legacy plaintext rows still pay for one bcrypt check, so response time does not
+        //tell which usernames exist or which rows are not migrated yet
+        return runOnHashingPool(() -> {
+            passwordEncoder.matches(rawPassword, dummyHash);
+            return encodedPassword != null && MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8), encodedPassword.getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        return encodedPassword != null
+                && (!isBcrypt(encodedPassword) || passwordEncoder.upgradeEncoding(encodedPassword));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private static boolean isBcrypt(String encodedPassword) {
+        return BCRYPT_PATTERN.matcher(encodedPassword).matches();
+    }
+
+    private <T> T runOnHashingPool(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = hashingExecutor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Password hashing", e);
+        }
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceBusyException("Password hashing", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -11,4 +11,6 @@ public interface UserService {
     User getUserById(long id);
     User updateUser(User user, long id);
     void deleteUser(long id);
+    boolean verifyCredentials(String username, String password);
+    List<User> searchUsersByUsernamePrefix(String prefix, String afterUsername, long afterId, int size);
 }
@@ -1,9 +1,13 @@
 package com.example.demo.service.impl;
 
+import com.example.demo.exception.InvalidFieldException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.model.User;
 import com.example.demo.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,15 +20,33 @@ public class UserServiceImpl implements UserService{
     // construction-based dependency injection is used when mandatory parameter
 
     private UserRepository userRepository;
+    private PasswordService passwordService;
     //@Autowired annotation is not required as spring detects userRepository bean with single constructor
-    public UserServiceImpl(UserRepository userRepository) {
+    public UserServiceImpl(UserRepository userRepository, PasswordService passwordService) {
         super();
         this.userRepository = userRepository;
+        this.passwordService = passwordService;
+    }
+
+    private UsernamePrefixIndex usernamePrefixIndex;
+    //optional, the bean only exists when user.search.prefix-index.enabled=true
+    @Autowired(required = false)
+    public void setUsernamePrefixIndex(UsernamePrefixIndex usernamePrefixIndex) {
+        this.usernamePrefixIndex = usernamePrefixIndex;
     }
 
     @Override
     public User saveUser(User user) {
-        return userRepository.save(user);
+        requireText(user.getPassword(), "Password");
+        //create always inserts: an id from the request body would make save() merge into and rename that row,
+        //leaving its old username in the prefix index. existing users are changed through updateUser
+        user.setId(0);
+        user.setPassword(passwordService.hash(user.getPassword()));
+        User savedUser = userRepository.save(user);
+        if (usernamePrefixIndex != null) {
+            usernamePrefixIndex.add(savedUser);
+        }
+        return savedUser;
     }
 
     @Override
@@ -46,12 +68,18 @@ public class UserServiceImpl implements UserService{
 
     @Override
     public User updateUser(User user, long id) {
+        requireText(user.getPassword(), "Password");
         User existingUser =userRepository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException("User", "Id", id));
+        String oldUsername = existingUser.getUsername();
         existingUser.setUsername(user.getUsername());
-        existingUser.setPassword(user.getPassword());
+        existingUser.setPassword(passwordService.hash(user.getPassword()));
 
         userRepository.save(existingUser);
+        if (usernamePrefixIndex != null) {
+            usernamePrefixIndex.remove(oldUsername, id);
+            usernamePrefixIndex.add(existingUser);
+        }
         return existingUser;
     }
 
@@ -60,5 +88,43 @@ public class UserServiceImpl implements UserService{
         User existingUser =userRepository.findById(id).orElseThrow(() ->
                 new ResourceNotFoundException("User", "Id", id));
         userRepository.deleteById(id);
+        if (usernamePrefixIndex != null) {
+            usernamePrefixIndex.remove(existingUser.getUsername(), id);
+        }
+    }
+
+    @Override
+    public boolean verifyCredentials(String username, String password) {
+        requireText(username, "Username");
+        requireText(password, "Password");
+        Optional<User> user = userRepository.findFirstByUsername(username);
+        //an unknown username is checked against a dummy hash, so it takes as long as a wrong password
+        String storedPassword = user.map(User::getPassword).orElse(null);
+        if (!passwordService.matches(password, storedPassword)) {
+            return false;
+        }
+        //rows written before hashing was introduced still hold plaintext, they are hashed on the first
+        //successful login. the same happens to bcrypt hashes below the configured strength
+        if (passwordService.needsRehash(storedPassword)) {
+            User existingUser = user.get();
+            existingUser.setPassword(passwordService.hash(password));
+            userRepository.save(existingUser);
+        }
+        return true;
+    }
+
+    @Override
+    public List<User> searchUsersByUsernamePrefix(String prefix, String afterUsername, long afterId, int size) {
+        if (usernamePrefixIndex != null && usernamePrefixIndex.isLoaded()) {
+            return usernamePrefixIndex.search(prefix, afterUsername, afterId, size);
+        }
+        return userRepository.searchByUsernamePrefix(prefix, afterUsername, afterId, PageRequest.of(0, size));
+    }
+
+    //blank credentials are rejected with 400 before they reach the hashing pool
+    private static void requireText(String value, String fieldName) {
+        if (!StringUtils.hasText(value)) {
+            throw new InvalidFieldException("User", fieldName);
+        }
     }
 }
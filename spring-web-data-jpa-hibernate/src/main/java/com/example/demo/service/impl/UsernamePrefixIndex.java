@@ -0,0 +1,143 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+//in-memory copy of (username, id) kept sorted the same way as idx_user_username, so prefix lookups for
+//autocomplete are a skip-list seek plus a short scan instead of a database round trip.
+//only created when user.search.prefix-index.enabled=true, UserServiceImpl keeps it in sync on writes
+@Component
+@ConditionalOnProperty(name = "user.search.prefix-index.enabled", havingValue = "true")
+public class UsernamePrefixIndex {
+
+    private static final int LOAD_BATCH_SIZE = 10000;
+
+    //same order as the utf8mb4_0900_bin username column, so a cursor from a database page continues correctly here
+    private final NavigableSet<User> entries = new ConcurrentSkipListSet<>(
+            Comparator.comparing(User::getUsername, UsernamePrefixIndex::compareCodePoints).thenComparingLong(User::getId));
+
+    //writes that arrive while load() runs; a batch read before such a write may hold the old row, so the writes are
+    //replayed once the last batch is in, otherwise an updated or deleted username would stay in the index for good
+    private final List<Runnable> writesDuringLoad = new ArrayList<>();
+
+    private UserRepository userRepository;
+    private volatile boolean loaded;
+
+    public UsernamePrefixIndex(UserRepository userRepository) {
+        super();
+        this.userRepository = userRepository;
+    }
+
+    //loads the table in keyset pages once the app is up, until then isLoaded() is false and searches go to the database
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        String afterUsername = "";
+        long afterId = 0;
+        List<User> batch;
+        do {
+            batch = userRepository.searchByUsernamePrefix("", afterUsername, afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (User user : batch) {
+                addEntry(user.getUsername(), user.getId());
+            }
+            if (!batch.isEmpty()) {
+                User last = batch.get(batch.size() - 1);
+                afterUsername = last.getUsername();
+                afterId = last.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        synchronized (writesDuringLoad) {
+            writesDuringLoad.forEach(Runnable::run);
+            writesDuringLoad.clear();
+            loaded = true;
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public void add(User user) {
+        String username = user.getUsername();
+        long id = user.getId();
+        write(() -> addEntry(username, id));
+    }
+
+    public void remove(String username, long id) {
+        write(() -> removeEntry(username, id));
+    }
+
+    private void write(Runnable write) {
+        if (!loaded) {
+            synchronized (writesDuringLoad) {
+                if (!loaded) {
+                    writesDuringLoad.add(write);
+                    write.run();
+                    return;
+                }
+            }
+        }
+        write.run();
+    }
+
+    private void addEntry(String username, long id) {
+        if (username != null) {
+            entries.add(entry(username, id));
+        }
+    }
+
+    private void removeEntry(String username, long id) {
+        if (username != null) {
+            entries.remove(entry(username, id));
+        }
+    }
+
+    //same contract as UserRepository.searchByUsernamePrefix: rows after (afterUsername, afterId) in (username, id) order
+    public List<User> search(String prefix, String afterUsername, long afterId, int size) {
+        //first page cursor sorts before the prefix, so seek straight to where the prefix starts
+        User from = compareCodePoints(afterUsername, prefix) < 0 ? entry(prefix, Long.MIN_VALUE) : entry(afterUsername, afterId);
+        List<User> result = new ArrayList<>(size);
+        for (User user : entries.tailSet(from, false)) {
+            if (result.size() == size || !user.getUsername().startsWith(prefix)) {
+                break;
+            }
+            result.add(user);
+        }
+        return result;
+    }
+
+    //binary collations compare code points, String.compareTo compares UTF-16 chars and orders characters
+    //outside the BMP before U+E000-U+FFFF
+    static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int codePointA = a.codePointAt(i);
+            int codePointB = b.codePointAt(j);
+            if (codePointA != codePointB) {
+                return Integer.compare(codePointA, codePointB);
+            }
+            i += Character.charCount(codePointA);
+            j += Character.charCount(codePointB);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    //entries only carry id and username, the password hash is never held in memory
+    private static User entry(String username, long id) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
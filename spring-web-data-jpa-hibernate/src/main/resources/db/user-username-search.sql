@@ -0,0 +1,9 @@
+-- schema changes for GET /api/users/search, run once against an existing testdb (MySQL 8).
+-- hibernate does not apply them: spring.jpa.properties.hibernate.ddl-auto is not read by hibernate, so no schema update runs.
+
+-- binary collation: LIKE 'prefix%' and ORDER BY username compare code points, exactly like the in-memory
+-- UsernamePrefixIndex. note this also makes username lookups (login) case-sensitive
+ALTER TABLE user MODIFY username VARCHAR(255) COLLATE utf8mb4_0900_bin;
+
+-- keyset paging on (username, id) is a range scan of this index
+CREATE INDEX idx_user_username ON user (username, id);
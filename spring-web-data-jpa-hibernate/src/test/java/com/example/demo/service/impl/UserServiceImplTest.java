@@ -0,0 +1,144 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.exception.InvalidFieldException;
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+    private UserRepository userRepository;
+    private PasswordServiceImpl passwordService;
+    private UserServiceImpl userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        //lowest bcrypt strength keeps the tests fast
+        passwordService = new PasswordServiceImpl(new BCryptPasswordEncoder(4), 1, 10, 5000);
+        userService = new UserServiceImpl(userRepository, passwordService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordService.shutdown();
+    }
+
+    @Test
+    void blankPasswordIsRejectedBeforeHashing() {
+        User user = new User();
+        user.setUsername("john");
+
+        assertThrows(InvalidFieldException.class, () -> userService.saveUser(user));
+        assertThrows(InvalidFieldException.class, () -> userService.updateUser(user, 1));
+        assertThrows(InvalidFieldException.class, () -> userService.verifyCredentials("john", " "));
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void savedPasswordIsHashed() {
+        User user = user("john", "secret");
+        when(userRepository.save(user)).thenReturn(user);
+
+        userService.saveUser(user);
+
+        assertTrue(user.getPassword().startsWith("$2a$04$"));
+    }
+
+    @Test
+    void saveWithExistingIdInsertsNewUserAndKeepsPrefixIndexInSync() {
+        UsernamePrefixIndex usernamePrefixIndex = new UsernamePrefixIndex(userRepository);
+        usernamePrefixIndex.add(user(1, "john", "hash"));
+        userService.setUsernamePrefixIndex(usernamePrefixIndex);
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            User inserted = invocation.getArgument(0);
+            assertEquals(0, inserted.getId());
+            inserted.setId(2);
+            return inserted;
+        });
+
+        User savedUser = userService.saveUser(user(1, "jack", "secret"));
+
+        assertEquals(2, savedUser.getId());
+        assertEquals(List.of("jack:2", "john:1"), usernamePrefixIndex.search("j", "", 0, 10).stream()
+                .map(user -> user.getUsername() + ":" + user.getId())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void verifyChecksPasswordAgainstStoredHash() {
+        User user = user("john", passwordService.hash("secret"));
+        when(userRepository.findFirstByUsername("john")).thenReturn(Optional.of(user));
+
+        assertTrue(userService.verifyCredentials("john", "secret"));
+        assertFalse(userService.verifyCredentials("john", "wrong"));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void unknownUsernameIsRejected() {
+        when(userRepository.findFirstByUsername("nobody")).thenReturn(Optional.empty());
+
+        assertFalse(userService.verifyCredentials("nobody", "secret"));
+    }
+
+    @Test
+    void legacyPlaintextPasswordIsHashedOnSuccessfulLogin() {
+        User user = user("john", "secret");
+        when(userRepository.findFirstByUsername("john")).thenReturn(Optional.of(user));
+
+        assertFalse(userService.verifyCredentials("john", "wrong"));
+        verify(userRepository, never()).save(any());
+
+        assertTrue(userService.verifyCredentials("john", "secret"));
+        verify(userRepository).save(user);
+        assertTrue(user.getPassword().startsWith("$2a$04$"));
+        assertTrue(userService.verifyCredentials("john", "secret"));
+    }
+
+    @Test
+    void weakerHashIsUpgradedOnSuccessfulLogin() {
+        PasswordServiceImpl strongerPasswordService = new PasswordServiceImpl(new BCryptPasswordEncoder(5), 1, 10, 5000);
+        try {
+            UserServiceImpl strongerUserService = new UserServiceImpl(userRepository, strongerPasswordService);
+            User user = user("john", passwordService.hash("secret"));
+            when(userRepository.findFirstByUsername("john")).thenReturn(Optional.of(user));
+
+            assertTrue(strongerUserService.verifyCredentials("john", "secret"));
+            assertEquals("$2a$05$", user.getPassword().substring(0, 7));
+        } finally {
+            strongerPasswordService.shutdown();
+        }
+    }
+
+    private static User user(long id, String username, String password) {
+        User user = user(username, password);
+        user.setId(id);
+        return user;
+    }
+
+    private static User user(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(password);
+        return user;
+    }
+}
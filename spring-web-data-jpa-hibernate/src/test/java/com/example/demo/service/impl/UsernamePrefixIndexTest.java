@@ -0,0 +1,111 @@
+package com.example.demo.service.impl;
+
+import com.example.demo.model.User;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UsernamePrefixIndexTest {
+
+    private UserRepository userRepository;
+    private UsernamePrefixIndex usernamePrefixIndex;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        usernamePrefixIndex = new UsernamePrefixIndex(userRepository);
+        usernamePrefixIndex.add(user(1, "alice"));
+        usernamePrefixIndex.add(user(2, "john"));
+        usernamePrefixIndex.add(user(3, "jo"));
+        usernamePrefixIndex.add(user(4, "john"));
+        usernamePrefixIndex.add(user(5, "joan"));
+        usernamePrefixIndex.add(user(6, "jz"));
+        usernamePrefixIndex.add(user(7, "John"));
+    }
+
+    @Test
+    void firstPageStartsAtPrefix() {
+        assertEquals(List.of("jo:3", "joan:5", "john:2", "john:4"), keys(usernamePrefixIndex.search("jo", "", 0, 10)));
+    }
+
+    @Test
+    void cursorInsidePrefixRangeContinuesAfterIt() {
+        assertEquals(List.of("john:4"), keys(usernamePrefixIndex.search("jo", "john", 2, 10)));
+        assertEquals(List.of("john:2", "john:4"), keys(usernamePrefixIndex.search("jo", "joan", 5, 10)));
+    }
+
+    @Test
+    void cursorPastPrefixRangeReturnsNothing() {
+        assertTrue(usernamePrefixIndex.search("jo", "john", 4, 10).isEmpty());
+        assertTrue(usernamePrefixIndex.search("jo", "jp", 0, 10).isEmpty());
+    }
+
+    @Test
+    void pageIsCutAtSize() {
+        assertEquals(List.of("jo:3", "joan:5"), keys(usernamePrefixIndex.search("jo", "", 0, 2)));
+    }
+
+    @Test
+    void matchingIsByCodePointLikeTheBinaryCollation() {
+        assertEquals(List.of("John:7"), keys(usernamePrefixIndex.search("J", "", 0, 10)));
+        assertTrue(UsernamePrefixIndex.compareCodePoints("�", "😀") < 0);
+        assertTrue(UsernamePrefixIndex.compareCodePoints("jo", "john") < 0);
+        assertEquals(0, UsernamePrefixIndex.compareCodePoints("john", "john"));
+    }
+
+    @Test
+    void updateMovesEntryToNewUsername() {
+        usernamePrefixIndex.remove("john", 2);
+        usernamePrefixIndex.add(user(2, "jack"));
+
+        assertEquals(List.of("jack:2"), keys(usernamePrefixIndex.search("ja", "", 0, 10)));
+        assertEquals(List.of("john:4"), keys(usernamePrefixIndex.search("john", "", 0, 10)));
+    }
+
+    @Test
+    void writesDuringLoadWinOverStaleBatch() {
+        UsernamePrefixIndex loadingIndex = new UsernamePrefixIndex(userRepository);
+        //the batch is read before the update and delete below, so it still holds the old rows
+        when(userRepository.searchByUsernamePrefix(eq(""), anyString(), anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    List<User> staleBatch = List.of(user(1, "old"), user(2, "deleted"), user(3, "kept"));
+                    loadingIndex.remove("old", 1);
+                    loadingIndex.add(user(1, "new"));
+                    loadingIndex.remove("deleted", 2);
+                    return staleBatch;
+                })
+                .thenReturn(Collections.emptyList());
+
+        assertFalse(loadingIndex.isLoaded());
+        loadingIndex.load();
+
+        assertTrue(loadingIndex.isLoaded());
+        assertEquals(List.of("kept:3", "new:1"), keys(loadingIndex.search("", "", 0, 10)));
+    }
+
+    private static List<String> keys(List<User> users) {
+        return users.stream().map(user -> user.getUsername() + ":" + user.getId()).collect(Collectors.toList());
+    }
+
+    private static User user(long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}